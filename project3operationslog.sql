@@ -10,13 +10,136 @@ create database operationslog;
 # switch to the new database
 use operationslog;
 
-# create the schemas for the four relations in this database
-create table operationscount (
+# create the schemas for the relations in this database
+#
+# ClientApp only ever appends to operationsevents: it buffers its statements and inserts one
+# row per (user, database, minute) on each flush, so no two writers ever touch the same row.
+# The only later write to a row is the rollup stamping its rollup_batch.
+# operationshourly / operationsdaily are rolled up from it in the background and
+# operationscount is now a view over them, so existing queries keep working.
+create table operationsevents (
+    event_id bigint auto_increment,
+    login_username varchar(25) not null,
+    db_name varchar(25) not null,
+    bucket_start datetime not null,
+    num_queries integer not null,
+	num_updates integer not null,
+    total_latency_ms bigint not null,
+    max_latency_ms integer not null,
+    rows_returned bigint not null,
+    rows_affected bigint not null,
+    # set by rollup_operations() when the row is folded in; null = not rolled up yet
+    rollup_batch bigint,
+    primary key (event_id),
+    index (bucket_start),
+    index (rollup_batch)
+);
+
+create table operationshourly (
     login_username varchar(25),
-    num_queries integer,
-	num_updates integer,
-    primary key (login_username)
+    db_name varchar(25),
+    hour_start datetime,
+    num_queries integer not null,
+	num_updates integer not null,
+    total_latency_ms bigint not null,
+    max_latency_ms integer not null,
+    rows_returned bigint not null,
+    rows_affected bigint not null,
+    primary key (login_username, db_name, hour_start),
+    index (hour_start)
+);
+
+create table operationsdaily (
+    login_username varchar(25),
+    db_name varchar(25),
+    day_start date,
+    num_queries integer not null,
+	num_updates integer not null,
+    total_latency_ms bigint not null,
+    max_latency_ms integer not null,
+    rows_returned bigint not null,
+    rows_affected bigint not null,
+    primary key (login_username, db_name, day_start),
+    index (day_start)
+);
+
+# last rollup batch number handed out
+create table operationsrollupstate (
+    id tinyint,
+    last_batch bigint not null,
+    primary key (id)
 );
+insert into operationsrollupstate values (1, 0);
+
+# fold every event not yet rolled up into the hourly and daily tables.
+# Rows are claimed by stamping them with a new batch number and then aggregated by that
+# number, so nothing depends on event_id order: auto-increment ids are handed out at insert,
+# not at commit, and a flush still in flight is simply left (batch still null) for the next run.
+delimiter //
+create procedure rollup_operations()
+begin
+    declare batch bigint;
+    start transaction;
+    # the row lock also keeps two rollups from running at once
+    update operationsrollupstate set last_batch = last_batch + 1 where id = 1;
+    select last_batch into batch from operationsrollupstate where id = 1;
+    update operationsevents set rollup_batch = batch where rollup_batch is null;
+
+    insert into operationshourly
+        select login_username, db_name,
+               date_format(bucket_start, '%Y-%m-%d %H:00:00'),
+               sum(num_queries), sum(num_updates), sum(total_latency_ms), max(max_latency_ms),
+               sum(rows_returned), sum(rows_affected)
+        from operationsevents
+        where rollup_batch = batch
+        group by login_username, db_name, date_format(bucket_start, '%Y-%m-%d %H:00:00')
+    on duplicate key update
+        num_queries = num_queries + values(num_queries),
+        num_updates = num_updates + values(num_updates),
+        total_latency_ms = total_latency_ms + values(total_latency_ms),
+        max_latency_ms = greatest(max_latency_ms, values(max_latency_ms)),
+        rows_returned = rows_returned + values(rows_returned),
+        rows_affected = rows_affected + values(rows_affected);
+
+    insert into operationsdaily
+        select login_username, db_name, date(bucket_start),
+               sum(num_queries), sum(num_updates), sum(total_latency_ms), max(max_latency_ms),
+               sum(rows_returned), sum(rows_affected)
+        from operationsevents
+        where rollup_batch = batch
+        group by login_username, db_name, date(bucket_start)
+    on duplicate key update
+        num_queries = num_queries + values(num_queries),
+        num_updates = num_updates + values(num_updates),
+        total_latency_ms = total_latency_ms + values(total_latency_ms),
+        max_latency_ms = greatest(max_latency_ms, values(max_latency_ms)),
+        rows_returned = rows_returned + values(rows_returned),
+        rows_affected = rows_affected + values(rows_affected);
+
+    commit;
+end //
+delimiter ;
+
+# run the rollup in the background every minute.
+# this only fires while the server's event scheduler is ON (see README, "Operations log");
+# without it operationshourly / operationsdaily stop updating
+create event rollup_operations_event
+    on schedule every 1 minute
+    do call rollup_operations();
+
+# same columns as the old operationscount table:
+# daily totals plus whatever events the rollup hasn't reached yet
+create view operationscount as
+    select login_username,
+           cast(sum(num_queries) as signed) as num_queries,
+           cast(sum(num_updates) as signed) as num_updates
+    from (select login_username, num_queries, num_updates
+          from operationsdaily
+          union all
+          select login_username, num_queries, num_updates
+          from operationsevents
+          where rollup_batch is null) as t
+    group by login_username;
 
 # uncomment the following line if you want to see the results of creating  database
 #select * from operationscount;
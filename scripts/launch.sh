@@ -0,0 +1,61 @@
+#!/usr/bin/env bash
+# Launch ClientApp or AccountantApp with an AppCDS archive (JDK 13+).
+#
+#   scripts/launch.sh ClientApp|AccountantApp
+#
+# The first run is the training run: the JVM dumps the classes it loaded
+# (Swing, JDBC driver, app classes) to build/cds/<App>.jsa on exit.
+# Later runs map that archive instead of parsing/verifying those classes again.
+# CDS refuses class directories on -cp, so CLASSES is packaged into build/<App>.jar
+# first. The jar and archive are rebuilt when anything in CLASSES is newer than
+# the jar; set CDS_REGEN=1 to force it (e.g. after changing the JDK).
+#
+# Env:
+#   CLASSES     compiled classes + resources   (default: target/classes)
+#   MYSQL_JAR   MySQL Connector/J jar          (default: lib/mysql-connector-j.jar, skipped if missing)
+#   JAVA_OPTS   extra JVM options, e.g. -Dproject3.prewarm=false
+
+set -euo pipefail
+
+APP="${1:-ClientApp}"
+case "$APP" in
+    ClientApp)     MAIN=project3.mainapp.ClientApp ;;
+    AccountantApp) MAIN=project3.accountant.AccountantApp ;;
+    *) echo "usage: $0 ClientApp|AccountantApp" >&2; exit 1 ;;
+esac
+
+# ClientApp lists src/main/resources/props relative to the working dir
+cd "$(dirname "$0")/.."
+
+CLASSES="${CLASSES:-target/classes}"
+MYSQL_JAR="${MYSQL_JAR:-lib/mysql-connector-j.jar}"
+APP_JAR="build/$APP.jar"
+ARCHIVE="build/cds/$APP.jsa"
+mkdir -p build/cds
+
+if [ ! -d "$CLASSES" ]; then
+    echo "$0: no compiled classes in $CLASSES (set CLASSES)" >&2; exit 1
+fi
+# a rebuilt jar no longer matches the archive, so both go together
+if [ "${CDS_REGEN:-0}" = "1" ] || [ ! -f "$APP_JAR" ] || [ -n "$(find "$CLASSES" -newer "$APP_JAR" -print -quit)" ]; then
+    rm -f "$APP_JAR" "$ARCHIVE"
+    jar cf "$APP_JAR" -C "$CLASSES" .
+fi
+
+# only jars on -cp, or the archive dump fails with "non-empty directory"
+CP="$APP_JAR"
+if [ -f "$MYSQL_JAR" ]; then
+    CP="$CP:$MYSQL_JAR"
+else
+    echo "[startup] $APP: $MYSQL_JAR not found, running without the MySQL driver" >&2
+fi
+
+if [ -f "$ARCHIVE" ]; then
+    CDS_OPTS=(-XX:SharedArchiveFile="$ARCHIVE" -Xshare:auto)
+    echo "[startup] $APP: using CDS archive $ARCHIVE"
+else
+    CDS_OPTS=(-XX:ArchiveClassesAtExit="$ARCHIVE")
+    echo "[startup] $APP: training run, archive written to $ARCHIVE on exit"
+fi
+
+exec java "${CDS_OPTS[@]}" ${JAVA_OPTS:-} -cp "$CP" "$MAIN"
@@ -9,12 +9,14 @@ Class: AccountantApp
 package project3.accountant;
 
 import project3.util.DBConnectionUtil;
+import project3.util.DiffDialog;
 import project3.util.ResultSetTableModel;
+import project3.util.StartupPipeline;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
+import javax.swing.table.TableModel;
 import java.awt.*;
-import java.io.InputStream;
 import java.sql.*;
 import java.util.List;
 import java.util.Properties;
@@ -28,14 +30,20 @@ public class AccountantApp extends JFrame {
     private JTextArea sqlArea;
     private JTable resultTable;
     private JButton connectBtn, disconnectBtn, executeBtn, clearSqlBtn, clearResultsBtn, closeBtn;
+    private JButton saveResultBtn, diffBtn;
     private JLabel statusLabel;
     private Connection conn;
+    // result kept by "Save Result" for comparing against a later query
+    private TableModel savedResult;
     private String loginUsername;
 
     public static void main(String[] args) {
+        // warm the operationslog connection while the UI is built
+        StartupPipeline.start("AccountantApp", "theaccountant.properties", true);
         SwingUtilities.invokeLater(() -> {
             AccountantApp app = new AccountantApp();
             app.setVisible(true);
+            StartupPipeline.uiReady();
         });
     }
 
@@ -94,18 +102,22 @@ public class AccountantApp extends JFrame {
         statusPanel.add(statusLabel);
 
         // Buttona
-        JPanel buttonPanel = new JPanel(new GridLayout(2, 3, 10, 10));
+        JPanel buttonPanel = new JPanel(new GridLayout(2, 4, 10, 10));
         connectBtn = new JButton("Connect");
         disconnectBtn = new JButton("Disconnect");
         executeBtn = new JButton("Execute");
         clearSqlBtn = new JButton("Clear SQL");
         clearResultsBtn = new JButton("Clear Results");
         closeBtn = new JButton("Close App");
+        saveResultBtn = new JButton("Save Result");
+        diffBtn = new JButton("Diff vs Saved");
         buttonPanel.add(connectBtn);
         buttonPanel.add(disconnectBtn);
         buttonPanel.add(executeBtn);
+        buttonPanel.add(saveResultBtn);
         buttonPanel.add(clearSqlBtn);
         buttonPanel.add(clearResultsBtn);
+        buttonPanel.add(diffBtn);
         buttonPanel.add(closeBtn);
 
         south.add(statusPanel, BorderLayout.NORTH);
@@ -122,6 +134,8 @@ public class AccountantApp extends JFrame {
         executeBtn.setEnabled(false);
         clearSqlBtn.setEnabled(false);
         clearResultsBtn.setEnabled(false);
+        saveResultBtn.setEnabled(false);
+        diffBtn.setEnabled(false);
 
         // action
         connectBtn.addActionListener(e -> onConnect());
@@ -129,6 +143,8 @@ public class AccountantApp extends JFrame {
         executeBtn.addActionListener(e -> onExecute());
         clearSqlBtn.addActionListener(e -> sqlArea.setText(""));
         clearResultsBtn.addActionListener(e -> resultTable.setModel(new DefaultTableModel()));
+        saveResultBtn.addActionListener(e -> savedResult = resultTable.getModel());
+        diffBtn.addActionListener(e -> DiffDialog.compare(this, savedResult, resultTable.getModel()));
         closeBtn.addActionListener(e -> {
             if (conn != null) try { conn.close(); } catch (Exception ignored){}
             System.exit(0);
@@ -149,6 +165,7 @@ public class AccountantApp extends JFrame {
     }
 
     private void onConnect() {
+        StartupPipeline.connectStarted();
         // Get credentials from fields
         String username = userField.getText().trim();
         String password = new String(passField.getPassword());
@@ -178,6 +195,7 @@ public class AccountantApp extends JFrame {
         // Open connection to operationslog
         try {
             conn = DBConnectionUtil.getConnection("theaccountant.properties");
+            StartupPipeline.connected();
             updateConnectionStatus("Connected as " + loginUsername + " to operationslog", true);
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(this,
@@ -192,6 +210,8 @@ public class AccountantApp extends JFrame {
         executeBtn.setEnabled(true);
         clearSqlBtn.setEnabled(true);
         clearResultsBtn.setEnabled(true);
+        saveResultBtn.setEnabled(true);
+        diffBtn.setEnabled(true);
     }
 
     private void onDisconnect() {
@@ -207,6 +227,8 @@ public class AccountantApp extends JFrame {
         executeBtn.setEnabled(false);
         clearSqlBtn.setEnabled(false);
         clearResultsBtn.setEnabled(false);
+        saveResultBtn.setEnabled(false);
+        diffBtn.setEnabled(false);
     }
 
     private void onExecute() {
@@ -234,12 +256,14 @@ public class AccountantApp extends JFrame {
             // Only allow SELECT SHOW DESC queries for theaccountant
             if (List.of("select","show","desc").contains(verb)) {
                 // QUERY with scrollable result set
+                StartupPipeline.executeStarted();
                 Statement stmt = conn.createStatement(
                         ResultSet.TYPE_SCROLL_INSENSITIVE,
                         ResultSet.CONCUR_READ_ONLY
                 );
                 ResultSet rs = stmt.executeQuery(sql);
                 resultTable.setModel(new ResultSetTableModel(rs));
+                StartupPipeline.firstResult();
                 // No logging for theaccountant operations
             } else {
                 // Rejections
@@ -267,10 +291,8 @@ public class AccountantApp extends JFrame {
     }
 
     private Properties loadProps(String filename) {
-        try (InputStream in = getClass().getResourceAsStream("/props/" + filename)) {
-            Properties p = new Properties();
-            p.load(in);
-            return p;
+        try {
+            return DBConnectionUtil.loadProps(filename);
         } catch (Exception e) {
             throw new RuntimeException("Cannot load properties: " + filename, e);
         }
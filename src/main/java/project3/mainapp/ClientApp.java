@@ -9,14 +9,16 @@ Class: ClientApp
 package project3.mainapp;
 
 import project3.util.DBConnectionUtil;
+import project3.util.DiffDialog;
+import project3.util.OperationsLogger;
 import project3.util.ResultSetTableModel;
+import project3.util.StartupPipeline;
 
 import javax.swing.*;
 import javax.swing.table.DefaultTableModel;
 import javax.swing.table.TableModel;
 import java.awt.*;
 import java.io.File;
-import java.io.InputStream;
 import java.sql.*;
 import java.util.Arrays;
 import java.util.List;
@@ -32,14 +34,26 @@ public class ClientApp extends JFrame {
     private JTextArea sqlArea;
     private JTable resultTable;
     private JButton connectBtn, disconnectBtn, executeBtn, clearSqlBtn, clearResultsBtn, closeBtn;
+    private JButton saveResultBtn, diffBtn;
     private JLabel statusLabel;
     private Connection conn;
+    // result kept by "Save Result" for comparing against a later query
+    private TableModel savedResult;
     private String loginUsername;
+    private String dbName;
+    // batched appends to operationslog.operationsevents
+    private final OperationsLogger opsLog = new OperationsLogger("project3app.properties");
 
     public static void main(String[] args) {
+        // driver, props and Connector/J's connect path warm up while the UI is built, via a
+        // throwaway project3app handshake; the login user's own session is only opened on Connect
+        StartupPipeline.start("ClientApp", "project3app.properties", false,
+                "project3.properties", "bikedb.properties", "operationslog.properties",
+                "root.properties", "client1.properties", "client2.properties");
         SwingUtilities.invokeLater(() -> {
             ClientApp app = new ClientApp();
             app.setVisible(true);
+            StartupPipeline.uiReady();
         });
     }
 
@@ -49,6 +63,8 @@ public class ClientApp extends JFrame {
         setSize(1000, 700);
         setDefaultCloseOperation(EXIT_ON_CLOSE);
         setLocationRelativeTo(null);
+        // write out buffered operations however the app exits
+        Runtime.getRuntime().addShutdownHook(new Thread(opsLog::close));
     }
 
     private void initComponents() {
@@ -97,18 +113,22 @@ public class ClientApp extends JFrame {
         statusPanel.add(statusLabel);
 
         // Button panel
-        JPanel buttonPanel = new JPanel(new GridLayout(2, 3, 10, 10));
+        JPanel buttonPanel = new JPanel(new GridLayout(2, 4, 10, 10));
         connectBtn = new JButton("Connect");
         disconnectBtn = new JButton("Disconnect");
         executeBtn = new JButton("Execute");
         clearSqlBtn = new JButton("Clear SQL");
         clearResultsBtn = new JButton("Clear Results");
         closeBtn = new JButton("Close App");
+        saveResultBtn = new JButton("Save Result");
+        diffBtn = new JButton("Diff vs Saved");
         buttonPanel.add(connectBtn);
         buttonPanel.add(disconnectBtn);
         buttonPanel.add(executeBtn);
+        buttonPanel.add(saveResultBtn);
         buttonPanel.add(clearSqlBtn);
         buttonPanel.add(clearResultsBtn);
+        buttonPanel.add(diffBtn);
         buttonPanel.add(closeBtn);
 
         south.add(statusPanel, BorderLayout.NORTH);
@@ -125,6 +145,8 @@ public class ClientApp extends JFrame {
         executeBtn.setEnabled(false);
         clearSqlBtn.setEnabled(false);
         clearResultsBtn.setEnabled(false);
+        saveResultBtn.setEnabled(false);
+        diffBtn.setEnabled(false);
 
         // Actions
         connectBtn.addActionListener(e -> onConnect());
@@ -132,6 +154,8 @@ public class ClientApp extends JFrame {
         executeBtn.addActionListener(e -> onExecute());
         clearSqlBtn.addActionListener(e -> sqlArea.setText(""));
         clearResultsBtn.addActionListener(e -> resultTable.setModel(new DefaultTableModel()));
+        saveResultBtn.addActionListener(e -> savedResult = resultTable.getModel());
+        diffBtn.addActionListener(e -> DiffDialog.compare(this, savedResult, resultTable.getModel()));
         closeBtn.addActionListener(e -> {
             if (conn != null) try { conn.close(); } catch (Exception ignored){}
             System.exit(0);
@@ -165,6 +189,7 @@ public class ClientApp extends JFrame {
     }
 
     private void onConnect() {
+        StartupPipeline.connectStarted();
         String dbPropsFile = (String) dbCombo.getSelectedItem();
         String userPropsFile = (String) userCombo.getSelectedItem();
 
@@ -189,10 +214,12 @@ public class ClientApp extends JFrame {
             return;
         }
         loginUsername = userProps.getProperty("user");
+        dbName = dbPropsFile.replace(".properties", "");
 
         // Open main connection
         try {
             conn = DBConnectionUtil.getConnection(dbPropsFile, userPropsFile);
+            StartupPipeline.connected();
             updateConnectionStatus("Connected as " + loginUsername + " to " + dbPropsFile, true);
         } catch (Exception ex) {
             JOptionPane.showMessageDialog(this,
@@ -208,6 +235,8 @@ public class ClientApp extends JFrame {
         executeBtn.setEnabled(true);
         clearSqlBtn.setEnabled(true);
         clearResultsBtn.setEnabled(true);
+        saveResultBtn.setEnabled(true);
+        diffBtn.setEnabled(true);
     }
 
     private void onDisconnect() {
@@ -216,6 +245,7 @@ public class ClientApp extends JFrame {
         } catch (Exception ignored){}
 
         conn = null;
+        opsLog.flushAsync();
         updateConnectionStatus("Disconnected", false);
 
         dbCombo.setEnabled(true);
@@ -225,6 +255,8 @@ public class ClientApp extends JFrame {
         executeBtn.setEnabled(false);
         clearSqlBtn.setEnabled(false);
         clearResultsBtn.setEnabled(false);
+        saveResultBtn.setEnabled(false);
+        diffBtn.setEnabled(false);
     }
 
     private void onExecute() {
@@ -243,6 +275,8 @@ public class ClientApp extends JFrame {
 
         try {
             String verb = sql.split("\\s+")[0].toLowerCase();
+            long startNanos = System.nanoTime();
+            StartupPipeline.executeStarted();
             if (List.of("select","show","desc").contains(verb)) {
                 // QUERY with scrollable result set
                 Statement stmt = conn.createStatement(
@@ -250,16 +284,22 @@ public class ClientApp extends JFrame {
                         ResultSet.CONCUR_READ_ONLY
                 );
                 ResultSet rs = stmt.executeQuery(sql);
-                resultTable.setModel(new ResultSetTableModel(rs));
-                if (!"theaccountant".equals(loginUsername)) logOperation(true);
+                ResultSetTableModel model = new ResultSetTableModel(rs);
+                long latencyMs = (System.nanoTime() - startNanos) / 1_000_000;
+                resultTable.setModel(model);
+                StartupPipeline.firstResult();
+                if (!"theaccountant".equals(loginUsername))
+                    logOperation(true, latencyMs, model.getRowCount());
             } else {
                 // UPDATE
                 Statement stmt = conn.createStatement();
                 int count = stmt.executeUpdate(sql);
+                long latencyMs = (System.nanoTime() - startNanos) / 1_000_000;
+                StartupPipeline.firstResult();
                 JOptionPane.showMessageDialog(this,
                         count + " row(s) affected.", "Update Result",
                         JOptionPane.INFORMATION_MESSAGE);
-                if (!"theaccountant".equals(loginUsername)) logOperation(false);
+                if (!"theaccountant".equals(loginUsername)) logOperation(false, latencyMs, count);
             }
 
         } catch (SQLException ex) {
@@ -268,34 +308,13 @@ public class ClientApp extends JFrame {
         }
     }
 
-    private void logOperation(boolean isQuery) {
-        try (Connection logConn = DBConnectionUtil.getConnection("project3app.properties")) {
-            PreparedStatement ps = logConn.prepareStatement(
-                    "SELECT num_queries, num_updates FROM operationscount WHERE login_username = ?");
-            ps.setString(1, loginUsername);
-            ResultSet rs = ps.executeQuery();
-            if (!rs.next()) {
-                ps = logConn.prepareStatement(
-                        "INSERT INTO operationscount(login_username, num_queries, num_updates) VALUES(?,?,?)");
-                ps.setString(1, loginUsername);
-                ps.setInt(2, isQuery ? 1 : 0);
-                ps.setInt(3, isQuery ? 0 : 1);
-                ps.executeUpdate();
-            } else {
-                String col = isQuery ? "num_queries" : "num_updates";
-                ps = logConn.prepareStatement(
-                        "UPDATE operationscount SET " + col + " = " + col + " + 1 WHERE login_username = ?");
-                ps.setString(1, loginUsername);
-                ps.executeUpdate();
-            }
-        } catch (Exception ignore) {}
+    private void logOperation(boolean isQuery, long latencyMs, long rows) {
+        opsLog.record(loginUsername, dbName, isQuery, latencyMs, rows);
     }
 
     private Properties loadProps(String filename) {
-        try (InputStream in = getClass().getResourceAsStream("/props/" + filename)) {
-            Properties p = new Properties();
-            p.load(in);
-            return p;
+        try {
+            return DBConnectionUtil.loadProps(filename);
         } catch (Exception e) {
             throw new RuntimeException("Cannot load properties: " + filename, e);
         }
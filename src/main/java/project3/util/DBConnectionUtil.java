@@ -11,25 +11,31 @@ package project3.util;
 import java.io.InputStream;
 import java.sql.Connection;
 import java.sql.DriverManager;
+import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Utility for opening JDBC connections using props files  !!!!!
  */
 public class DBConnectionUtil {
 
+    // props files are read once and shared (callers only ever read them)
+    private static final Map<String, Properties> PROPS_CACHE = new ConcurrentHashMap<>();
+    // drivers already loaded with Class.forName
+    private static final Map<String, Boolean> LOADED_DRIVERS = new ConcurrentHashMap<>();
+    // connections opened in the background before the user clicks Connect
+    private static final Map<String, CompletableFuture<Connection>> WARM = new ConcurrentHashMap<>();
+
     //connect using 1 file
     public static Connection getConnection(String propsFilename) throws Exception {
-        Properties p = new Properties();
-        try (InputStream in = DBConnectionUtil.class.getResourceAsStream("/props/" + propsFilename)) {
-            p.load(in);
+        CompletableFuture<Connection> warm = WARM.remove(propsFilename);
+        if (warm != null) {
+            Connection c = claim(warm);
+            if (c != null) return c;
         }
-        Class.forName(p.getProperty("driver"));
-        return DriverManager.getConnection(
-                p.getProperty("url"),
-                p.getProperty("user"),
-                p.getProperty("password")
-        );
+        return openDirect(propsFilename);
     }
 
     // Connect to the DB in dbPropsFile
@@ -38,23 +44,106 @@ public class DBConnectionUtil {
             String dbPropsFile,
             String userPropsFile
     ) throws Exception {
+        return openDirect(dbPropsFile, userPropsFile);
+    }
+
+    private static Connection openDirect(String propsFilename) throws Exception {
+        Properties p = loadProps(propsFilename);
+        loadDriver(p.getProperty("driver"));
+        return DriverManager.getConnection(
+                p.getProperty("url"),
+                p.getProperty("user"),
+                p.getProperty("password")
+        );
+    }
+
+    private static Connection openDirect(String dbPropsFile, String userPropsFile) throws Exception {
         // Load DBprops
-        Properties dbProps = new Properties();
-        try (InputStream in = DBConnectionUtil.class.getResourceAsStream("/props/" + dbPropsFile)) {
-            dbProps.load(in);
-        }
+        Properties dbProps = loadProps(dbPropsFile);
 
         // Load user credentials
-        Properties userProps = new Properties();
-        try (InputStream in = DBConnectionUtil.class.getResourceAsStream("/props/" + userPropsFile)) {
-            userProps.load(in);
-        }
+        Properties userProps = loadProps(userPropsFile);
 
-        Class.forName(dbProps.getProperty("driver"));
+        loadDriver(dbProps.getProperty("driver"));
         return DriverManager.getConnection(
                 dbProps.getProperty("url"),
                 userProps.getProperty("user"),
                 userProps.getProperty("password")
         );
     }
+
+    // Load driver + props and open a connection on a background thread.
+    // The next getConnection(propsFilename) takes it instead of doing the handshake itself.
+    // Only for single-file props (fixed app users), never for a user picked at login.
+    public static CompletableFuture<Connection> prewarm(String propsFilename) {
+        return WARM.computeIfAbsent(propsFilename,
+                k -> CompletableFuture.supplyAsync(() -> open(propsFilename)));
+    }
+
+    // Open and immediately close a connection on a background thread. Nothing is kept;
+    // this only gets the driver's handshake/auth classes loaded and JIT-warmed before
+    // the user's own Connect, which still does a full handshake of its own.
+    public static CompletableFuture<Void> probe(String propsFilename) {
+        return CompletableFuture.runAsync(() -> {
+            try (Connection ignored = openDirect(propsFilename)) {
+                // connect path exercised; close right away
+            } catch (Exception e) {
+                throw new RuntimeException("Probe failed for " + propsFilename, e);
+            }
+        });
+    }
+
+    // Read props files and load their drivers without connecting
+    public static void preload(String... propsFiles) throws Exception {
+        for (String f : propsFiles) {
+            String driver = loadProps(f).getProperty("driver");
+            if (driver != null) loadDriver(driver);
+        }
+    }
+
+    // Close any warm connection nobody claimed (call on exit)
+    public static void discardWarm() {
+        for (String key : WARM.keySet()) {
+            CompletableFuture<Connection> f = WARM.remove(key);
+            if (f != null) f.thenAccept(c -> {
+                try { c.close(); } catch (Exception ignored) {}
+            });
+        }
+    }
+
+    public static Properties loadProps(String filename) throws Exception {
+        Properties cached = PROPS_CACHE.get(filename);
+        if (cached != null) return cached;
+        Properties p = new Properties();
+        try (InputStream in = DBConnectionUtil.class.getResourceAsStream("/props/" + filename)) {
+            if (in == null) throw new IllegalArgumentException("Missing props file: " + filename);
+            p.load(in);
+        }
+        PROPS_CACHE.putIfAbsent(filename, p);
+        return p;
+    }
+
+    private static void loadDriver(String driver) throws ClassNotFoundException {
+        if (LOADED_DRIVERS.containsKey(driver)) return;
+        Class.forName(driver);
+        LOADED_DRIVERS.put(driver, Boolean.TRUE);
+    }
+
+    private static Connection open(String propsFilename) {
+        try {
+            return openDirect(propsFilename);
+        } catch (Exception e) {
+            throw new RuntimeException("Pre-warm failed for " + propsFilename, e);
+        }
+    }
+
+    // Wait for a warm connection; null means it failed or went stale, so open a fresh one
+    private static Connection claim(CompletableFuture<Connection> warm) {
+        try {
+            Connection c = warm.join();
+            if (c.isValid(2)) return c;
+            try { c.close(); } catch (Exception ignored) {}
+        } catch (Exception ignored) {}
+        return null;
+    }
 }
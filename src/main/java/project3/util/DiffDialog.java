@@ -0,0 +1,149 @@
+/*
+Name: Medha Subramaniyan
+Course: CNT 4714 Summer 2025
+Assignment title: Project 3 – A Specialized Accountant Application
+Date: July 6, 2025
+Class: DiffDialog
+*/
+
+package project3.util;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import javax.swing.table.DefaultTableCellRenderer;
+import javax.swing.table.TableModel;
+import java.awt.*;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * Shows a ResultDiff: removed rows in red, added rows in green, changed cells in orange ("old -> new").
+ */
+public class DiffDialog extends JDialog {
+    private static final Color ADDED = new Color(200, 240, 200);
+    private static final Color REMOVED = new Color(245, 200, 200);
+    private static final Color CHANGED = new Color(255, 210, 150);
+
+    // Ask for key columns, diff saved vs current off the EDT, then show the dialog
+    public static void compare(Component parent, TableModel saved, TableModel current) {
+        if (saved == null || saved.getColumnCount() == 0 || current.getColumnCount() == 0) {
+            JOptionPane.showMessageDialog(parent,
+                    "Save a result first, then run another query to compare against it.",
+                    "Nothing to Compare", JOptionPane.WARNING_MESSAGE);
+            return;
+        }
+        String keys = JOptionPane.showInputDialog(parent,
+                "Key column(s), comma separated:", saved.getColumnName(0));
+        if (keys == null || keys.trim().isEmpty()) return;
+        List<String> keyColumns = new ArrayList<>();
+        for (String k : keys.split(",")) {
+            if (!k.trim().isEmpty()) keyColumns.add(k.trim());
+        }
+
+        parent.setCursor(Cursor.getPredefinedCursor(Cursor.WAIT_CURSOR));
+        new SwingWorker<ResultDiff.Result, Void>() {
+            @Override
+            protected ResultDiff.Result doInBackground() {
+                return ResultDiff.diff(saved, current, keyColumns);
+            }
+
+            @Override
+            protected void done() {
+                parent.setCursor(Cursor.getDefaultCursor());
+                try {
+                    new DiffDialog(SwingUtilities.getWindowAncestor(parent), get()).setVisible(true);
+                } catch (ExecutionException ex) {
+                    JOptionPane.showMessageDialog(parent,
+                            ex.getCause().getMessage(), "Diff Error", JOptionPane.ERROR_MESSAGE);
+                } catch (InterruptedException ignored) {}
+            }
+        }.execute();
+    }
+
+    public DiffDialog(Window owner, ResultDiff.Result result) {
+        super(owner, "Result Diff (saved vs current)", ModalityType.MODELESS);
+
+        JLabel summary = new JLabel(String.format(
+                "  %d removed, %d added, %d changed, %d unchanged   (key: %s)",
+                result.count(ResultDiff.Kind.REMOVED), result.count(ResultDiff.Kind.ADDED),
+                result.count(ResultDiff.Kind.CHANGED), result.unchanged,
+                String.join(", ", List.of(result.columns).subList(0, result.keyCount))));
+        summary.setFont(summary.getFont().deriveFont(Font.BOLD));
+
+        JTable table = new JTable(new DiffTableModel(result));
+        table.setDefaultRenderer(Object.class, new DiffRenderer(result));
+
+        getContentPane().setLayout(new BorderLayout(10, 10));
+        getContentPane().add(summary, BorderLayout.NORTH);
+        getContentPane().add(new JScrollPane(table), BorderLayout.CENTER);
+        setSize(900, 500);
+        setLocationRelativeTo(owner);
+    }
+
+    // Reads straight from the diff rows, so only visible cells are ever formatted
+    private static class DiffTableModel extends AbstractTableModel {
+        private final ResultDiff.Result result;
+
+        DiffTableModel(ResultDiff.Result result) {
+            this.result = result;
+        }
+
+        @Override
+        public int getRowCount() {
+            return result.rows.size();
+        }
+
+        @Override
+        public int getColumnCount() {
+            return result.columns.length + 1;
+        }
+
+        @Override
+        public String getColumnName(int column) {
+            return column == 0 ? "Change" : result.columns[column - 1];
+        }
+
+        @Override
+        public Object getValueAt(int rowIndex, int columnIndex) {
+            ResultDiff.RowDiff d = result.rows.get(rowIndex);
+            if (columnIndex == 0) return d.kind;
+            int c = columnIndex - 1;
+            switch (d.kind) {
+                case ADDED:
+                    return d.right[c];
+                case REMOVED:
+                    return d.left[c];
+                default:
+                    return d.changed[c] ? d.left[c] + " -> " + d.right[c] : d.right[c];
+            }
+        }
+    }
+
+    private static class DiffRenderer extends DefaultTableCellRenderer {
+        private final ResultDiff.Result result;
+
+        DiffRenderer(ResultDiff.Result result) {
+            this.result = result;
+        }
+
+        @Override
+        public Component getTableCellRendererComponent(JTable table, Object value, boolean isSelected,
+                                                       boolean hasFocus, int row, int column) {
+            Component c = super.getTableCellRendererComponent(table, value, isSelected, hasFocus, row, column);
+            if (isSelected) return c;
+            ResultDiff.RowDiff d = result.rows.get(table.convertRowIndexToModel(row));
+            int col = table.convertColumnIndexToModel(column);
+            if (d.kind == ResultDiff.Kind.ADDED) {
+                c.setBackground(ADDED);
+            } else if (d.kind == ResultDiff.Kind.REMOVED) {
+                c.setBackground(REMOVED);
+            } else if (col > 0 && d.changed[col - 1]) {
+                c.setBackground(CHANGED);
+            } else {
+                c.setBackground(table.getBackground());
+            }
+            return c;
+        }
+    }
+}
@@ -0,0 +1,164 @@
+/*
+Name: Medha Subramaniyan
+Course: CNT 4714 Summer 2025
+Assignment title: Project 3 – A Specialized Accountant Application
+Date: July 6, 2025
+Class: OperationsLogger
+*/
+
+package project3.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Timestamp;
+import java.util.Map;
+import java.util.HashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers executed statements per user / database / minute and appends them to
+ * operationslog.operationsevents in one batch every few seconds.
+ */
+public class OperationsLogger {
+    private static final long FLUSH_SECONDS = 5;
+    // how long exit waits for the last flush before giving up on it
+    private static final long CLOSE_TIMEOUT_SECONDS = 3;
+    private static final String INSERT_SQL =
+            "INSERT INTO operationsevents(login_username, db_name, bucket_start, num_queries, num_updates, "
+                    + "total_latency_ms, max_latency_ms, rows_returned, rows_affected) VALUES(?,?,?,?,?,?,?,?,?)";
+
+    private final String propsFile;
+    private final ScheduledExecutorService flusher;
+    private Map<String, Bucket> buffer = new HashMap<>();
+    private Connection logConn;
+
+    // one minute of activity for one user on one database
+    private static class Bucket {
+        final String user, db;
+        final long minuteStart;
+        int queries, updates, maxLatency;
+        long totalLatency, rowsReturned, rowsAffected;
+
+        Bucket(String user, String db, long minuteStart) {
+            this.user = user;
+            this.db = db;
+            this.minuteStart = minuteStart;
+        }
+
+        void merge(Bucket o) {
+            queries += o.queries;
+            updates += o.updates;
+            totalLatency += o.totalLatency;
+            maxLatency = Math.max(maxLatency, o.maxLatency);
+            rowsReturned += o.rowsReturned;
+            rowsAffected += o.rowsAffected;
+        }
+    }
+
+    public OperationsLogger(String propsFile) {
+        this.propsFile = propsFile;
+        this.flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "operations-log-flusher");
+            t.setDaemon(true);
+            return t;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, FLUSH_SECONDS, FLUSH_SECONDS, TimeUnit.SECONDS);
+    }
+
+    // rows = rows returned for a query, rows affected for an update
+    public synchronized void record(String user, String db, boolean isQuery, long latencyMs, long rows) {
+        long minuteStart = System.currentTimeMillis() / 60_000 * 60_000;
+        Bucket b = buffer.computeIfAbsent(user + "|" + db + "|" + minuteStart,
+                k -> new Bucket(user, db, minuteStart));
+        if (isQuery) {
+            b.queries++;
+            b.rowsReturned += rows;
+        } else {
+            b.updates++;
+            b.rowsAffected += rows;
+        }
+        b.totalLatency += latencyMs;
+        b.maxLatency = (int) Math.max(b.maxLatency, latencyMs);
+    }
+
+    // Write everything buffered so far; on failure the buckets are kept for the next flush
+    public void flush() {
+        Map<String, Bucket> pending;
+        synchronized (this) {
+            if (buffer.isEmpty()) return;
+            pending = buffer;
+            buffer = new HashMap<>();
+        }
+        synchronized (flusher) {
+            try {
+                if (logConn == null || logConn.isClosed()) {
+                    logConn = DBConnectionUtil.getConnection(propsFile);
+                }
+                logConn.setAutoCommit(false);
+                try (PreparedStatement ps = logConn.prepareStatement(INSERT_SQL)) {
+                    for (Bucket b : pending.values()) {
+                        ps.setString(1, b.user);
+                        ps.setString(2, b.db);
+                        ps.setTimestamp(3, new Timestamp(b.minuteStart));
+                        ps.setInt(4, b.queries);
+                        ps.setInt(5, b.updates);
+                        ps.setLong(6, b.totalLatency);
+                        ps.setInt(7, b.maxLatency);
+                        ps.setLong(8, b.rowsReturned);
+                        ps.setLong(9, b.rowsAffected);
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+                }
+                logConn.commit();
+            } catch (Exception e) {
+                try { if (logConn != null) logConn.rollback(); } catch (Exception ignored) {}
+                try { if (logConn != null) logConn.close(); } catch (Exception ignored) {}
+                logConn = null;
+                requeue(pending);
+            }
+        }
+    }
+
+    // Flush on the background thread so a slow or down operationslog never blocks the caller (EDT)
+    public void flushAsync() {
+        try {
+            flusher.execute(this::flush);
+        } catch (RejectedExecutionException ignored) {} // already closed
+    }
+
+    // Flush what's left and stop the background thread. The flush runs on the flusher
+    // and is waited for at most CLOSE_TIMEOUT_SECONDS, so an unreachable operationslog
+    // can't hang app exit on a TCP connect timeout (the thread is a daemon and is abandoned).
+    public void close() {
+        try {
+            flusher.execute(() -> {
+                flush();
+                synchronized (flusher) {
+                    try { if (logConn != null) logConn.close(); } catch (Exception ignored) {}
+                    logConn = null;
+                }
+            });
+        } catch (RejectedExecutionException alreadyClosed) {
+            return;
+        }
+        flusher.shutdown();
+        try {
+            if (!flusher.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) flusher.shutdownNow();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private synchronized void requeue(Map<String, Bucket> pending) {
+        for (Map.Entry<String, Bucket> e : pending.entrySet()) {
+            buffer.merge(e.getKey(), e.getValue(), (cur, old) -> {
+                cur.merge(old);
+                return cur;
+            });
+        }
+    }
+}
@@ -0,0 +1,214 @@
+/*
+Name: Medha Subramaniyan
+Course: CNT 4714 Summer 2025
+Assignment title: Project 3 – A Specialized Accountant Application
+Date: July 6, 2025
+Class: ResultDiff
+*/
+
+package project3.util;
+
+import javax.swing.table.TableModel;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Compares two loaded results by hash-joining them on key columns.
+ * Every row gets a 64-bit fingerprint of its non-key cells, so matched rows are
+ * compared cell by cell only when the fingerprints differ.
+ * Columns are matched by name (case-insensitive); columns only one side has are ignored.
+ */
+public class ResultDiff {
+
+    public enum Kind { ADDED, REMOVED, CHANGED }
+
+    // One differing row. left is null for ADDED, right is null for REMOVED.
+    // changed[i] is true for the value columns (see Result.columns) that differ.
+    public static class RowDiff {
+        public final Kind kind;
+        public final Object[] left, right;
+        public final boolean[] changed;
+        final int order;
+
+        RowDiff(Kind kind, Object[] left, Object[] right, boolean[] changed, int order) {
+            this.kind = kind;
+            this.left = left;
+            this.right = right;
+            this.changed = changed;
+            this.order = order;
+        }
+    }
+
+    public static class Result {
+        // key columns first, then the compared columns; RowDiff arrays use this order
+        public final String[] columns;
+        public final int keyCount;
+        public final List<RowDiff> rows;
+        public final int unchanged;
+
+        Result(String[] columns, int keyCount, List<RowDiff> rows, int unchanged) {
+            this.columns = columns;
+            this.keyCount = keyCount;
+            this.rows = rows;
+            this.unchanged = unchanged;
+        }
+
+        public long count(Kind kind) {
+            return rows.stream().filter(r -> r.kind == kind).count();
+        }
+    }
+
+    // key values with the hash computed once, used as the join key
+    private static final class RowKey {
+        final String[] values;
+        final int hash;
+
+        RowKey(String[] values) {
+            this.values = values;
+            this.hash = Arrays.hashCode(values);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RowKey && hash == ((RowKey) o).hash
+                    && Arrays.equals(values, ((RowKey) o).values);
+        }
+    }
+
+    // Diff left (before / saved) against right (after / live) on the given key column names
+    public static Result diff(TableModel left, TableModel right, List<String> keyColumns) {
+        if (keyColumns.isEmpty()) throw new IllegalArgumentException("Choose at least one key column.");
+
+        // column order: keys, then every other column both sides have
+        List<String> columns = new ArrayList<>();
+        for (String key : keyColumns) {
+            int c = indexOf(left, key);
+            if (c < 0) throw new IllegalArgumentException("Column " + key + " is not in the first result.");
+            columns.add(left.getColumnName(c));
+        }
+        for (int c = 0; c < left.getColumnCount(); c++) {
+            String name = left.getColumnName(c);
+            if (indexOf(right, name) >= 0 && !containsIgnoreCase(columns, name)) columns.add(name);
+        }
+        int[] leftCols = resolve(left, columns, "first");
+        int[] rightCols = resolve(right, columns, "second");
+        int keyCount = keyColumns.size();
+
+        Map<RowKey, Integer> leftIndex = index(left, leftCols, keyCount, "first");
+        Map<RowKey, Integer> rightIndex = index(right, rightCols, keyCount, "second");
+        long[] leftFp = fingerprints(left, leftCols, keyCount);
+        long[] rightFp = fingerprints(right, rightCols, keyCount);
+
+        // probe the left index with every right row
+        List<RowDiff> fromRight = rightIndex.entrySet().parallelStream()
+                .map(e -> {
+                    int r = e.getValue();
+                    Integer l = leftIndex.get(e.getKey());
+                    if (l == null) return new RowDiff(Kind.ADDED, null, row(right, rightCols, r), null, r);
+                    if (leftFp[l] == rightFp[r]) return null;
+                    Object[] lv = row(left, leftCols, l);
+                    Object[] rv = row(right, rightCols, r);
+                    boolean[] changed = new boolean[columns.size()];
+                    boolean any = false;
+                    for (int c = keyCount; c < changed.length; c++) {
+                        changed[c] = !normalize(lv[c]).equals(normalize(rv[c]));
+                        any |= changed[c];
+                    }
+                    return any ? new RowDiff(Kind.CHANGED, lv, rv, changed, r) : null;
+                })
+                .filter(d -> d != null)
+                .collect(Collectors.toList());
+
+        List<RowDiff> removed = leftIndex.entrySet().parallelStream()
+                .filter(e -> !rightIndex.containsKey(e.getKey()))
+                .map(e -> new RowDiff(Kind.REMOVED, row(left, leftCols, e.getValue()), null, null, e.getValue()))
+                .collect(Collectors.toList());
+
+        // removed rows in their original order, then added/changed in the second result's order
+        removed.sort(Comparator.comparingInt(d -> d.order));
+        fromRight.sort(Comparator.comparingInt(d -> d.order));
+        List<RowDiff> rows = new ArrayList<>(removed);
+        rows.addAll(fromRight);
+
+        int changedCount = (int) fromRight.stream().filter(d -> d.kind == Kind.CHANGED).count();
+        int matched = right.getRowCount() - (fromRight.size() - changedCount);
+        return new Result(columns.toArray(new String[0]), keyCount, rows, matched - changedCount);
+    }
+
+    private static Map<RowKey, Integer> index(TableModel model, int[] cols, int keyCount, String side) {
+        Map<RowKey, Integer> index = new ConcurrentHashMap<>(model.getRowCount() * 2);
+        IntStream.range(0, model.getRowCount()).parallel().forEach(r -> {
+            String[] key = new String[keyCount];
+            for (int k = 0; k < keyCount; k++) key[k] = normalize(model.getValueAt(r, cols[k]));
+            if (index.putIfAbsent(new RowKey(key), r) != null) {
+                throw new IllegalArgumentException(
+                        "Key " + Arrays.toString(key) + " appears more than once in the " + side + " result.");
+            }
+        });
+        return index;
+    }
+
+    // FNV-1a over the normalized non-key cells
+    private static long[] fingerprints(TableModel model, int[] cols, int keyCount) {
+        long[] fp = new long[model.getRowCount()];
+        IntStream.range(0, fp.length).parallel().forEach(r -> {
+            long h = 0xcbf29ce484222325L;
+            for (int c = keyCount; c < cols.length; c++) {
+                String v = normalize(model.getValueAt(r, cols[c]));
+                for (int i = 0; i < v.length(); i++) {
+                    h ^= v.charAt(i);
+                    h *= 0x100000001b3L;
+                }
+                h ^= 0x1f; // cell separator so "ab","c" != "a","bc"
+                h *= 0x100000001b3L;
+            }
+            fp[r] = h;
+        });
+        return fp;
+    }
+
+    private static Object[] row(TableModel model, int[] cols, int r) {
+        Object[] values = new Object[cols.length];
+        for (int c = 0; c < cols.length; c++) values[c] = model.getValueAt(r, cols[c]);
+        return values;
+    }
+
+    // values are compared by text so e.g. Integer 5 and Long 5 from different drivers/schemas match
+    private static String normalize(Object value) {
+        return value == null ? "\u0000null" : value.toString();
+    }
+
+    private static int[] resolve(TableModel model, List<String> columns, String side) {
+        int[] cols = new int[columns.size()];
+        for (int i = 0; i < cols.length; i++) {
+            cols[i] = indexOf(model, columns.get(i));
+            if (cols[i] < 0) {
+                throw new IllegalArgumentException(
+                        "Column " + columns.get(i) + " is not in the " + side + " result.");
+            }
+        }
+        return cols;
+    }
+
+    private static int indexOf(TableModel model, String name) {
+        for (int c = 0; c < model.getColumnCount(); c++) {
+            if (model.getColumnName(c).equalsIgnoreCase(name.trim())) return c;
+        }
+        return -1;
+    }
+
+    private static boolean containsIgnoreCase(List<String> names, String name) {
+        return names.stream().anyMatch(n -> n.equalsIgnoreCase(name));
+    }
+}
@@ -0,0 +1,95 @@
+/*
+Name: Medha Subramaniyan
+Course: CNT 4714 Summer 2025
+Assignment title: Project 3 – A Specialized Accountant Application
+Date: July 6, 2025
+Class: StartupPipeline
+*/
+
+package project3.util;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Warms the driver, props and the JDBC connect path while Swing builds the UI, and prints
+ * startup and time-to-first-result timings to stdout.
+ * Run with -Dproject3.prewarm=false to measure the cold path for comparison.
+ */
+public class StartupPipeline {
+    private static final boolean PREWARM = !"false".equals(System.getProperty("project3.prewarm"));
+    private static String appName = "app";
+
+    // nanoTime marks for the first Connect -> first result; 0 = not reached yet
+    private static long connectStart, connectMs, executeStart;
+    private static boolean firstResultSeen;
+
+    // Kick off background init. warmPropsFile is a single-file props (user + url); may be null.
+    // keepConnection: hand the connection to the next getConnection(warmPropsFile);
+    // otherwise it is a throwaway handshake that is closed right away.
+    public static void start(String app, String warmPropsFile, boolean keepConnection, String... otherProps) {
+        appName = app;
+        report("main() entered at " + sinceLaunch() + " ms, pre-warm " + (PREWARM ? "on" : "off"));
+        if (!PREWARM) return;
+
+        if (otherProps.length > 0) {
+            CompletableFuture.runAsync(() -> {
+                try {
+                    DBConnectionUtil.preload(otherProps);
+                    report("driver + props loaded at " + sinceLaunch() + " ms");
+                } catch (Exception e) {
+                    report("props preload failed: " + e.getMessage());
+                }
+            });
+        }
+
+        if (warmPropsFile != null && !keepConnection) {
+            DBConnectionUtil.probe(warmPropsFile).whenComplete((v, e) -> report(e == null
+                    ? "connect path warmed (" + warmPropsFile + ", closed) at " + sinceLaunch() + " ms"
+                    : "connect probe failed: " + e.getCause().getMessage()));
+        } else if (warmPropsFile != null) {
+            DBConnectionUtil.prewarm(warmPropsFile).whenComplete((c, e) -> report(e == null
+                    ? "warm connection ready (" + warmPropsFile + ") at " + sinceLaunch() + " ms"
+                    : "warm connection failed, will connect on demand"));
+            // don't leave an unclaimed handshake open when the app exits
+            Runtime.getRuntime().addShutdownHook(new Thread(DBConnectionUtil::discardWarm));
+        }
+    }
+
+    public static void uiReady() {
+        report("UI visible at " + sinceLaunch() + " ms");
+    }
+
+    // Connect clicked; restarts the clock until a connection succeeds (failed logins don't count)
+    public static synchronized void connectStarted() {
+        if (connectMs == 0) connectStart = System.nanoTime();
+    }
+
+    public static synchronized void connected() {
+        if (connectMs != 0 || connectStart == 0) return;
+        connectMs = Math.max(1, (System.nanoTime() - connectStart) / 1_000_000);
+        report("connect phase " + connectMs + " ms");
+    }
+
+    // Execute clicked; only the first statement after connecting is timed
+    public static synchronized void executeStarted() {
+        if (connectMs != 0 && executeStart == 0) executeStart = System.nanoTime();
+    }
+
+    // Result rendered. Time-to-first-result = connect + execute, excluding time spent typing
+    public static synchronized void firstResult() {
+        if (firstResultSeen || executeStart == 0) return;
+        firstResultSeen = true;
+        long executeMs = (System.nanoTime() - executeStart) / 1_000_000;
+        report("execute phase " + executeMs + " ms, time-to-first-result " + (connectMs + executeMs) + " ms");
+    }
+
+    private static void report(String event) {
+        System.out.println("[startup] " + appName + ": " + event);
+    }
+
+    // ms since the JVM started, so class loading before main() is counted too
+    private static long sinceLaunch() {
+        return System.currentTimeMillis() - ManagementFactory.getRuntimeMXBean().getStartTime();
+    }
+}